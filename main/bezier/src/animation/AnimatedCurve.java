@@ -0,0 +1,141 @@
+package bezier.src.animation;
+
+import bezier.src.bezier.Bezier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A Bézier curve whose control points are animated through a list of {@link Keyframe}s. <br>
+ * Between two keyframes, every control point is tweened along a straight line, with the progress shaped by the
+ * {@link Easing} of the earlier keyframe.
+ * <p>
+ * An animated curve keeps its own working arrays so that evaluating it does not allocate, which means it must not be
+ * evaluated from more than one thread at a time.
+ * </p>
+ */
+public class AnimatedCurve {
+
+    /**
+     * The keyframes of the animation, sorted by time.
+     */
+    private final List<Keyframe> keyframes;
+
+    /**
+     * Whether the animation starts over after its last keyframe.
+     */
+    private final boolean loop;
+
+    /**
+     * The number of control points of the curve.
+     */
+    private final int pointCount;
+
+    /**
+     * The tweened x coordinates of the control points.
+     */
+    private final double[] xs;
+
+    /**
+     * The tweened y coordinates of the control points.
+     */
+    private final double[] ys;
+
+    /**
+     * The working array handed to {@link Bezier#curve(double[], double[], int, double[], double[], double[])}.
+     */
+    private final double[] scratch;
+
+    /**
+     * Creates an animated curve with the given keyframes.
+     *
+     * @param keyframes the keyframes of the animation, all with the same number of control points.
+     * @param loop      whether the animation starts over after its last keyframe.
+     */
+    public AnimatedCurve(List<Keyframe> keyframes, boolean loop) {
+        if (keyframes.isEmpty()) {
+            throw new IllegalArgumentException("An animated curve needs at least one keyframe.");
+        }
+
+        this.keyframes = new ArrayList<>(keyframes);
+        this.keyframes.sort(Comparator.comparingDouble(Keyframe::getTime));
+        this.loop = loop;
+
+        pointCount = this.keyframes.get(0).xs.length;
+
+        for (Keyframe keyframe : this.keyframes) {
+            if (keyframe.xs.length != pointCount) {
+                throw new IllegalArgumentException("All keyframes must have the same number of control points.");
+            }
+        }
+
+        if (pointCount < 2) {
+            throw new IllegalArgumentException("The number of control points must be at least 2.");
+        }
+
+        xs = new double[pointCount];
+        ys = new double[pointCount];
+        scratch = new double[pointCount * 2];
+    }
+
+    /**
+     * Returns the length of the animation in seconds, which is the time of its last keyframe.
+     */
+    public double getDuration() {
+        return keyframes.get(keyframes.size() - 1).time;
+    }
+
+    /**
+     * Tweens the control points to the given moment of the animation and samples the resulting curve into the given
+     * arrays.
+     *
+     * @param time  the moment of the animation, in seconds.
+     * @param stops the number of stops in the curve.
+     * @param outX  the array receiving the x coordinates of the curve, with at least {@code stops + 1} elements.
+     * @param outY  the array receiving the y coordinates of the curve, with at least {@code stops + 1} elements.
+     */
+    public void evaluate(double time, int stops, double[] outX, double[] outY) {
+        tween(time);
+        Bezier.curve(xs, ys, stops, outX, outY, scratch);
+    }
+
+    private void tween(double time) {
+        double duration = getDuration();
+
+        if (loop && duration > 0.0) {
+            time %= duration;
+        }
+
+        Keyframe first = keyframes.get(0);
+        Keyframe last = keyframes.get(keyframes.size() - 1);
+
+        if (time <= first.time) {
+            copy(first);
+            return;
+        }
+
+        if (time >= last.time) {
+            copy(last);
+            return;
+        }
+
+        int next = 1;
+        while (keyframes.get(next).time <= time) next++;
+
+        Keyframe from = keyframes.get(next - 1);
+        Keyframe to = keyframes.get(next);
+
+        double progress = from.easing.apply((time - from.time) / (to.time - from.time));
+
+        for (int i = 0; i < pointCount; i++) {
+            xs[i] = from.xs[i] + (to.xs[i] - from.xs[i]) * progress;
+            ys[i] = from.ys[i] + (to.ys[i] - from.ys[i]) * progress;
+        }
+    }
+
+    private void copy(Keyframe keyframe) {
+        System.arraycopy(keyframe.xs, 0, xs, 0, pointCount);
+        System.arraycopy(keyframe.ys, 0, ys, 0, pointCount);
+    }
+}
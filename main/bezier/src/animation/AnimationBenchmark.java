@@ -0,0 +1,66 @@
+package bezier.src.animation;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures how many ticks per second an {@link AnimationEngine} achieves for a number of random curves, without opening
+ * any window, then plays them in real time for a few seconds and reports the dropped frames. <br>
+ * Usage: {@code AnimationBenchmark [curves] [controlPoints] [stops] [ticks] [tickRate] [seconds]}
+ */
+public class AnimationBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int curveCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int controlPoints = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int stops = args.length > 2 ? Integer.parseInt(args[2]) : 900;
+        int tickCount = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        int tickRate = args.length > 4 ? Integer.parseInt(args[4]) : 144;
+        int seconds = args.length > 5 ? Integer.parseInt(args[5]) : 2;
+
+        Random random = new Random(42);
+        List<AnimatedCurve> curves = new ArrayList<>();
+
+        for (int i = 0; i < curveCount; i++) {
+            List<Keyframe> keyframes = new ArrayList<>();
+            keyframes.add(new Keyframe(0.0, randomPoints(random, controlPoints), Easing.EASE_IN_OUT));
+            keyframes.add(new Keyframe(1.0, randomPoints(random, controlPoints), Easing.EASE));
+            keyframes.add(new Keyframe(2.0, randomPoints(random, controlPoints), Easing.LINEAR));
+
+            curves.add(new AnimatedCurve(keyframes, true));
+        }
+
+        AnimationEngine engine = new AnimationEngine(curves, stops, tickRate, null);
+
+        // Warm up the JIT before measuring.
+        engine.runHeadless(Math.max(1, tickCount / 10));
+
+        double ticksPerSecond = engine.runHeadless(tickCount);
+
+        System.out.printf("%d curves, %d control points, %d stops: %.1f ticks/s (%.3f ms/tick)%n",
+                curveCount, controlPoints, stops, ticksPerSecond, 1000.0 / ticksPerSecond);
+
+        AnimationEngine realTime = new AnimationEngine(curves, stops, tickRate, null);
+        realTime.start();
+
+        try {
+            Thread.sleep(seconds * 1000L);
+        } finally {
+            realTime.stop();
+        }
+
+        System.out.printf("Real time at %d Hz for %d s: %s%n", tickRate, seconds, realTime.describeStats());
+    }
+
+    private static Point[] randomPoints(Random random, int count) {
+        Point[] points = new Point[count];
+
+        for (int i = 0; i < count; i++) {
+            points[i] = new Point(random.nextInt(800), random.nextInt(600));
+        }
+
+        return points;
+    }
+}
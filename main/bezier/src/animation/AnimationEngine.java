@@ -0,0 +1,263 @@
+package bezier.src.animation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * Plays a set of {@link AnimatedCurve}s with a fixed timestep. <br>
+ * Every tick advances the animation by exactly {@code 1 / tickRate} seconds, evaluates all curves into the back
+ * {@link CurveFrame}, swaps it with the front one and then notifies the frame listener (usually a {@code repaint}), so
+ * the listener is called once per frame.
+ * </p>
+ * <p>
+ * When the engine falls behind, the ticks it missed are not evaluated: since a curve is a function of time only, the
+ * next frame simply jumps to the right moment. Every skipped tick is counted as a dropped frame.
+ * </p>
+ * <p>
+ * The engine can also {@link #runHeadless(int) run headless}, evaluating ticks back to back without sleeping or
+ * notifying the listener, to measure how many ticks per second are achievable for a given set of curves.
+ * </p>
+ */
+public class AnimationEngine {
+
+    private final List<AnimatedCurve> curves;
+
+    /**
+     * The number of stops each curve is sampled with.
+     */
+    private final int stops;
+
+    /**
+     * The length of a tick in nanoseconds.
+     */
+    private final long tickNanos;
+
+    /**
+     * Called on the engine thread after every frame swap.
+     */
+    private final Runnable frameListener;
+
+    /**
+     * Guards the swap of {@link #front} and {@link #back} against readers of the front frame.
+     */
+    private final Object swapLock = new Object();
+
+    /**
+     * The frame readers see.
+     */
+    private CurveFrame front;
+
+    /**
+     * The frame the engine writes into. Only touched by the engine thread.
+     */
+    private CurveFrame back;
+
+    /**
+     * The current moment of the animation, in seconds.
+     */
+    private double time;
+
+    private Thread thread;
+
+    private volatile boolean running;
+
+    private volatile long ticks;
+
+    private volatile long frames;
+
+    private volatile long droppedFrames;
+
+    /**
+     * The longest time spent evaluating a frame, in nanoseconds.
+     */
+    private volatile long worstFrameNanos;
+
+    /**
+     * Creates an engine for the given curves.
+     *
+     * @param curves        the curves to animate.
+     * @param stops         the number of stops each curve is sampled with.
+     * @param tickRate      the number of ticks per second, usually between 60 and 144.
+     * @param frameListener called on the engine thread after each frame, or {@code null}.
+     */
+    public AnimationEngine(List<AnimatedCurve> curves, int stops, int tickRate, Runnable frameListener) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("The tick rate must be positive.");
+        }
+
+        if (stops < 1) {
+            throw new IllegalArgumentException("The number of stops must be at least 1.");
+        }
+
+        this.curves = new ArrayList<>(curves);
+        this.stops = stops;
+        this.tickNanos = 1_000_000_000L / tickRate;
+        this.frameListener = frameListener;
+
+        front = new CurveFrame(curves.size(), stops);
+        back = new CurveFrame(curves.size(), stops);
+
+        evaluate();
+        swap();
+    }
+
+    /**
+     * Starts playing the animation on a new thread. Does nothing if the engine is already running.
+     */
+    public synchronized void start() {
+        if (running) return;
+
+        running = true;
+        thread = new Thread(this::loop, "AnimationEngine");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops playing the animation and waits for the engine thread to finish. The last frame stays available.
+     */
+    public synchronized void stop() {
+        if (!running) return;
+
+        running = false;
+        LockSupport.unpark(thread);
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        thread = null;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void loop() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+
+            long pending = accumulator / tickNanos;
+
+            if (pending == 0) {
+                LockSupport.parkNanos(tickNanos - accumulator);
+                continue;
+            }
+
+            accumulator -= pending * tickNanos;
+            time += pending * tickNanos / 1e9;
+            ticks += pending;
+            droppedFrames += pending - 1;
+
+            long start = System.nanoTime();
+            evaluate();
+            swap();
+            worstFrameNanos = Math.max(worstFrameNanos, System.nanoTime() - start);
+            frames++;
+
+            if (frameListener != null) frameListener.run();
+        }
+    }
+
+    /**
+     * Evaluates the given number of ticks back to back on the calling thread, without sleeping or notifying the frame
+     * listener. The engine must not be running.
+     *
+     * @param tickCount the number of ticks to evaluate.
+     * @return the achieved number of ticks per second.
+     */
+    public double runHeadless(int tickCount) {
+        if (running) {
+            throw new IllegalStateException("The engine is already running.");
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < tickCount; i++) {
+            time += tickNanos / 1e9;
+            ticks++;
+
+            evaluate();
+            swap();
+            frames++;
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        return tickCount / (elapsed / 1e9);
+    }
+
+    private void evaluate() {
+        for (int i = 0; i < curves.size(); i++) {
+            curves.get(i).evaluate(time, stops, back.xs[i], back.ys[i]);
+        }
+
+        back.time = time;
+    }
+
+    private void swap() {
+        synchronized (swapLock) {
+            CurveFrame previousFront = front;
+            front = back;
+            back = previousFront;
+        }
+    }
+
+    /**
+     * Hands the front frame to the given reader. The engine does not swap frames while the reader runs, so it should
+     * return quickly and must not keep a reference to the frame.
+     *
+     * @param reader the reader of the frame, usually the painting code.
+     */
+    public void readFrame(Consumer<CurveFrame> reader) {
+        synchronized (swapLock) {
+            reader.accept(front);
+        }
+    }
+
+    /**
+     * Returns the number of ticks the animation has advanced by, including dropped ones.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Returns the number of frames that were evaluated and swapped.
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the number of ticks that were skipped because the engine fell behind.
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Returns the longest time spent evaluating and swapping a frame while playing, in nanoseconds.
+     */
+    public long getWorstFrameNanos() {
+        return worstFrameNanos;
+    }
+
+    /**
+     * Returns the frame statistics as a line of text, e.g. for logs or tooltips.
+     */
+    public String describeStats() {
+        return String.format("%d ticks, %d frames, %d dropped, worst frame %.3f ms",
+                ticks, frames, droppedFrames, worstFrameNanos / 1e6);
+    }
+}
@@ -0,0 +1,61 @@
+package bezier.src.animation;
+
+/**
+ * One frame of an {@link AnimationEngine}: the sampled points of every animated curve at a given moment, stored in
+ * primitive arrays. The coordinates are kept unrounded, so they can be scaled before being drawn. <br>
+ * The engine keeps two frames and swaps them after each tick, so a frame is never written while it is being drawn.
+ */
+public class CurveFrame {
+
+    /**
+     * The x coordinates of the points, one array per curve.
+     */
+    final double[][] xs;
+
+    /**
+     * The y coordinates of the points, one array per curve.
+     */
+    final double[][] ys;
+
+    /**
+     * The moment of the animation this frame represents, in seconds.
+     */
+    double time;
+
+    CurveFrame(int curves, int stops) {
+        xs = new double[curves][stops + 1];
+        ys = new double[curves][stops + 1];
+    }
+
+    /**
+     * Returns the number of curves in this frame.
+     */
+    public int getCurveCount() {
+        return xs.length;
+    }
+
+    /**
+     * Returns the number of points of each curve in this frame.
+     */
+    public int getPointCount() {
+        return xs.length == 0 ? 0 : xs[0].length;
+    }
+
+    /**
+     * Returns the x coordinates of the points of the given curve. The array must not be modified.
+     */
+    public double[] getXs(int curve) {
+        return xs[curve];
+    }
+
+    /**
+     * Returns the y coordinates of the points of the given curve. The array must not be modified.
+     */
+    public double[] getYs(int curve) {
+        return ys[curve];
+    }
+
+    public double getTime() {
+        return time;
+    }
+}
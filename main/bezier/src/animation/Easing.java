@@ -0,0 +1,115 @@
+package bezier.src.animation;
+
+/**
+ * <p>
+ * An easing function described by a cubic Bézier curve, in the same way CSS describes its
+ * {@code cubic-bezier(x1, y1, x2, y2)} timing functions. <br>
+ * The first anchor point is fixed at {@code (0, 0)} and the second one at {@code (1, 1)}; only the two control points
+ * are configurable.
+ * </p>
+ * <p>
+ * Given a linear progress {@code x} between 0 and 1, the easing finds the {@code t} for which the curve's x coordinate
+ * equals {@code x} and returns the curve's y coordinate at that {@code t}.
+ * </p>
+ */
+public class Easing {
+
+    public static final Easing LINEAR = new Easing(0.0, 0.0, 1.0, 1.0);
+
+    public static final Easing EASE = new Easing(0.25, 0.1, 0.25, 1.0);
+
+    public static final Easing EASE_IN = new Easing(0.42, 0.0, 1.0, 1.0);
+
+    public static final Easing EASE_OUT = new Easing(0.0, 0.0, 0.58, 1.0);
+
+    public static final Easing EASE_IN_OUT = new Easing(0.42, 0.0, 0.58, 1.0);
+
+    /**
+     * The precision used when solving for {@code t}.
+     */
+    private static final double EPSILON = 1e-6;
+
+    private final double x1, y1, x2, y2;
+
+    /**
+     * Creates an easing with the given control points.
+     *
+     * @param x1 the x coordinate of the first control point, between 0 and 1.
+     * @param y1 the y coordinate of the first control point.
+     * @param x2 the x coordinate of the second control point, between 0 and 1.
+     * @param y2 the y coordinate of the second control point.
+     */
+    public Easing(double x1, double y1, double x2, double y2) {
+        if (x1 < 0.0 || x1 > 1.0 || x2 < 0.0 || x2 > 1.0) {
+            throw new IllegalArgumentException("The x coordinates of the control points must be between 0 and 1.");
+        }
+
+        this.x1 = x1;
+        this.y1 = y1;
+        this.x2 = x2;
+        this.y2 = y2;
+    }
+
+    /**
+     * Returns the eased progress for the given linear progress.
+     *
+     * @param x the linear progress, ranging from 0 to 1.
+     * @return the eased progress.
+     */
+    public double apply(double x) {
+        if (x <= 0.0) return 0.0;
+        if (x >= 1.0) return 1.0;
+
+        return sample(y1, y2, solve(x));
+    }
+
+    /**
+     * Finds the {@code t} for which the x coordinate of the curve equals {@code x}. Newton's method is tried first, as
+     * it converges in a few iterations for most curves; bisection is used as a fallback when the slope is too flat.
+     */
+    private double solve(double x) {
+        double t = x;
+
+        for (int i = 0; i < 8; i++) {
+            double error = sample(x1, x2, t) - x;
+            if (Math.abs(error) < EPSILON) return t;
+
+            double slope = slope(x1, x2, t);
+            if (Math.abs(slope) < EPSILON) break;
+
+            t -= error / slope;
+        }
+
+        double low = 0.0;
+        double high = 1.0;
+        t = x;
+
+        while (high - low > EPSILON) {
+            double value = sample(x1, x2, t);
+            if (Math.abs(value - x) < EPSILON) return t;
+
+            if (value < x) low = t;
+            else high = t;
+
+            t = (low + high) / 2.0;
+        }
+
+        return t;
+    }
+
+    /**
+     * {@code B(t) = 3(1-t)^2 * t * P1 + 3(1-t) * t^2 * P2 + t^3}, as {@code P0} is 0 and {@code P3} is 1.
+     */
+    private static double sample(double p1, double p2, double t) {
+        double u = 1.0 - t;
+        return 3.0 * u * u * t * p1 + 3.0 * u * t * t * p2 + t * t * t;
+    }
+
+    /**
+     * The derivative of {@link #sample(double, double, double)} with respect to {@code t}.
+     */
+    private static double slope(double p1, double p2, double t) {
+        double u = 1.0 - t;
+        return 3.0 * u * u * p1 + 6.0 * u * t * (p2 - p1) + 3.0 * t * t * (1.0 - p2);
+    }
+}
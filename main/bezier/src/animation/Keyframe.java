@@ -0,0 +1,68 @@
+package bezier.src.animation;
+
+import java.awt.Point;
+
+/**
+ * A snapshot of the control points of a curve at a given moment of an {@link AnimatedCurve}. <br>
+ * The {@link Easing} of a keyframe is used when tweening from it to the next keyframe.
+ */
+public class Keyframe {
+
+    /**
+     * The moment of this keyframe, in seconds since the start of the animation.
+     */
+    final double time;
+
+    /**
+     * The x coordinates of the control points.
+     */
+    final double[] xs;
+
+    /**
+     * The y coordinates of the control points.
+     */
+    final double[] ys;
+
+    /**
+     * The easing used when tweening towards the next keyframe.
+     */
+    final Easing easing;
+
+    /**
+     * Creates a keyframe with the given control points. The points are copied, so later changes to them do not affect
+     * the keyframe.
+     *
+     * @param time          the moment of the keyframe, in seconds.
+     * @param controlPoints the control points of the curve at that moment.
+     * @param easing        the easing used when tweening towards the next keyframe.
+     */
+    public Keyframe(double time, Point[] controlPoints, Easing easing) {
+        if (time < 0.0) {
+            throw new IllegalArgumentException("The time of a keyframe cannot be negative.");
+        }
+
+        this.time = time;
+        this.easing = easing;
+
+        xs = new double[controlPoints.length];
+        ys = new double[controlPoints.length];
+
+        for (int i = 0; i < controlPoints.length; i++) {
+            xs[i] = controlPoints[i].x;
+            ys[i] = controlPoints[i].y;
+        }
+    }
+
+    /**
+     * Creates a keyframe with the given control points which tweens linearly towards the next keyframe.
+     *
+     * @see #Keyframe(double, Point[], Easing)
+     */
+    public Keyframe(double time, Point[] controlPoints) {
+        this(time, controlPoints, Easing.LINEAR);
+    }
+
+    public double getTime() {
+        return time;
+    }
+}
@@ -257,6 +257,70 @@ public class Bezier {
         return new Point(ix, iy);
     }
 
+    /**
+     * Samples the Bézier curve with the given control points into the given primitive arrays, using De Casteljau's
+     * algorithm. Unlike {@link #curve(Point[], int)}, this method does not allocate any {@link Point}s, so it can be
+     * called every frame without producing garbage.
+     * <p>
+     * The curve is sampled at {@code stops + 1} evenly spaced values of {@code t}, so both anchor points are included.
+     * </p>
+     *
+     * @param xs      the x coordinates of the control points.
+     * @param ys      the y coordinates of the control points.
+     * @param stops   the number of stops in the curve.
+     * @param outX    the array receiving the x coordinates of the curve, with at least {@code stops + 1} elements.
+     * @param outY    the array receiving the y coordinates of the curve, with at least {@code stops + 1} elements.
+     * @param scratch a working array with at least {@code 2 * xs.length} elements.
+     */
+    @SuppressWarnings("unused")
+    public static void curve(double[] xs, double[] ys, int stops, int[] outX, int[] outY, double[] scratch) {
+        final int n = xs.length;
+
+        for (int i = 0; i <= stops; i++) {
+            deCasteljau((double) i / (double) stops, xs, ys, scratch);
+
+            outX[i] = Math.round((float) scratch[0]);
+            outY[i] = Math.round((float) scratch[n]);
+        }
+    }
+
+    /**
+     * Samples the Bézier curve with the given control points into the given primitive arrays, keeping the full
+     * precision of the coordinates. Useful when the points are going to be scaled before being drawn.
+     * <p>
+     * For details on the parameters, see {@link #curve(double[], double[], int, int[], int[], double[]) the overloaded
+     * method}.
+     * </p>
+     */
+    public static void curve(double[] xs, double[] ys, int stops, double[] outX, double[] outY, double[] scratch) {
+        final int n = xs.length;
+
+        for (int i = 0; i <= stops; i++) {
+            deCasteljau((double) i / (double) stops, xs, ys, scratch);
+
+            outX[i] = scratch[0];
+            outY[i] = scratch[n];
+        }
+    }
+
+    /**
+     * Evaluates the curve at {@code t}, leaving the x coordinate of the result in {@code scratch[0]} and the y
+     * coordinate in {@code scratch[xs.length]}.
+     */
+    private static void deCasteljau(double t, double[] xs, double[] ys, double[] scratch) {
+        final int n = xs.length;
+
+        System.arraycopy(xs, 0, scratch, 0, n);
+        System.arraycopy(ys, 0, scratch, n, n);
+
+        for (int j = 1; j < n; j++) {
+            for (int k = 0; k < n - j; k++) {
+                scratch[k] = (1d - t) * scratch[k] + t * scratch[k + 1];
+                scratch[n + k] = (1d - t) * scratch[n + k] + t * scratch[n + k + 1];
+            }
+        }
+    }
+
     /**
      * Elevates the degree of the Bézier curve with the given control points, which means adding a control point to it.
      * The result is an identical curve in appearance, but one degree higher.
@@ -0,0 +1,252 @@
+package bezier.src.bezier;
+
+import java.awt.Point;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * <p>
+ * A Bézier curve sampled at several levels of detail. <br>
+ * Level {@code 0} has {@link #MIN_STOPS} stops and every following level doubles that amount, up to
+ * {@link #LEVELS} levels. {@link #levelFor(double, double)} picks the coarsest level that still looks smooth at a given
+ * zoom scale, based on how long the curve is on screen.
+ * </p>
+ * <p>
+ * Levels are sampled lazily and kept for as long as the curve exists, so zooming back and forth does not sample the
+ * curve again. A new {@code LodCurve} should be created whenever the control points change.
+ * </p>
+ * <p>
+ * The samples of each level are grouped in segments of {@link #SEGMENT_SIZE} points with a bounding box each, so the
+ * segments outside the viewport can be skipped when drawing.
+ * </p>
+ */
+public class LodCurve {
+
+    /**
+     * The number of stops of the coarsest level.
+     */
+    public static final int MIN_STOPS = 32;
+
+    /**
+     * The number of levels of detail. The finest level has {@code MIN_STOPS << (LEVELS - 1)} stops.
+     */
+    public static final int LEVELS = 8;
+
+    /**
+     * The number of samples in each segment.
+     */
+    public static final int SEGMENT_SIZE = 32;
+
+    private final double[] xs;
+
+    private final double[] ys;
+
+    /**
+     * The length of the control polygon, which is never shorter than the curve itself.
+     */
+    private final double polygonLength;
+
+    /**
+     * The bounding box of the control points, which always contains the curve.
+     */
+    private final Rectangle2D.Double bounds;
+
+    private final Level[] levels = new Level[LEVELS];
+
+    /**
+     * Creates a curve with the given control points. No level is sampled until it is requested.
+     *
+     * @param controlPoints the control points of the curve.
+     */
+    public LodCurve(Point[] controlPoints) {
+        xs = new double[controlPoints.length];
+        ys = new double[controlPoints.length];
+
+        double length = 0.0;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < controlPoints.length; i++) {
+            xs[i] = controlPoints[i].x;
+            ys[i] = controlPoints[i].y;
+
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+
+            if (i > 0) length += Math.hypot(xs[i] - xs[i - 1], ys[i] - ys[i - 1]);
+        }
+
+        polygonLength = length;
+        bounds = new Rectangle2D.Double(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Returns the coarsest level whose samples are at most {@code spacing} pixels apart on screen when the curve is
+     * drawn at the given scale, or the finest level if none is dense enough.
+     *
+     * @param scale   the zoom scale the curve is drawn at.
+     * @param spacing the maximum distance between two samples on screen, in pixels.
+     * @return the level of detail to draw.
+     */
+    public int levelFor(double scale, double spacing) {
+        double screenLength = polygonLength * scale;
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (screenLength / stopsAt(level) <= spacing) return level;
+        }
+
+        return LEVELS - 1;
+    }
+
+    /**
+     * Returns the samples of the given level, sampling them first if this is the first time the level is requested.
+     *
+     * @param level the level of detail, from {@code 0} to {@code LEVELS - 1}.
+     * @return the samples of that level.
+     */
+    public Level getLevel(int level) {
+        if (levels[level] == null) {
+            levels[level] = new Level(stopsAt(level));
+        }
+
+        return levels[level];
+    }
+
+    /**
+     * Returns the number of stops which keeps the samples at most {@code spacing} pixels apart when the curve is drawn
+     * at the given scale. Unlike {@link #levelFor(double, double)}, the result is not limited to the cached levels.
+     *
+     * @param scale   the scale the curve is drawn at.
+     * @param spacing the maximum distance between two samples, in pixels.
+     * @return the number of stops, at least {@link #MIN_STOPS}.
+     */
+    public int stopsFor(double scale, double spacing) {
+        return Math.max(MIN_STOPS, (int) Math.ceil(polygonLength * scale / spacing));
+    }
+
+    /**
+     * Samples the curve with the given number of stops. The result is not cached, so this is meant for one-off
+     * renders, such as exports, which need more stops than the finest level has.
+     *
+     * @param stops the number of stops in the curve.
+     * @return the samples of the curve.
+     */
+    public Level sample(int stops) {
+        return new Level(stops);
+    }
+
+    /**
+     * Returns whether any part of the curve may lie within the given area.
+     */
+    public boolean intersects(Rectangle2D area) {
+        return area.intersects(bounds.x, bounds.y, Math.max(bounds.width, 1.0), Math.max(bounds.height, 1.0));
+    }
+
+    private static int stopsAt(int level) {
+        return MIN_STOPS << level;
+    }
+
+    /**
+     * The samples of one level of detail and the bounding boxes of their segments.
+     */
+    public class Level {
+
+        private final double[] xs;
+
+        private final double[] ys;
+
+        /**
+         * The bounding boxes of the segments, as {@code minX, minY, maxX, maxY} for each segment. A box also covers the
+         * first sample of the next segment, so it contains the whole line drawn through the segment.
+         */
+        private final double[] segmentBounds;
+
+        private Level(int stops) {
+            xs = new double[stops + 1];
+            ys = new double[stops + 1];
+
+            Bezier.curve(LodCurve.this.xs, LodCurve.this.ys, stops, xs, ys, new double[LodCurve.this.xs.length * 2]);
+
+            segmentBounds = new double[getSegmentCount() * 4];
+
+            for (int segment = 0; segment < getSegmentCount(); segment++) {
+                double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+                int last = Math.min(getSegmentEnd(segment), xs.length - 1);
+
+                for (int i = getSegmentStart(segment); i <= last; i++) {
+                    minX = Math.min(minX, xs[i]);
+                    minY = Math.min(minY, ys[i]);
+                    maxX = Math.max(maxX, xs[i]);
+                    maxY = Math.max(maxY, ys[i]);
+                }
+
+                segmentBounds[segment * 4] = minX;
+                segmentBounds[segment * 4 + 1] = minY;
+                segmentBounds[segment * 4 + 2] = maxX;
+                segmentBounds[segment * 4 + 3] = maxY;
+            }
+        }
+
+        public int getPointCount() {
+            return xs.length;
+        }
+
+        /**
+         * Returns the x coordinates of the samples. The array must not be modified.
+         */
+        public double[] getXs() {
+            return xs;
+        }
+
+        /**
+         * Returns the y coordinates of the samples. The array must not be modified.
+         */
+        public double[] getYs() {
+            return ys;
+        }
+
+        public int getSegmentCount() {
+            return (xs.length + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+        }
+
+        /**
+         * Returns the index of the first sample of the given segment.
+         */
+        public int getSegmentStart(int segment) {
+            return segment * SEGMENT_SIZE;
+        }
+
+        /**
+         * Returns the index after the last sample of the given segment.
+         */
+        public int getSegmentEnd(int segment) {
+            return Math.min((segment + 1) * SEGMENT_SIZE, xs.length);
+        }
+
+        /**
+         * Returns the bounding box of the given segment, including the line to the first sample of the next segment.
+         */
+        public Rectangle2D.Double getSegmentBounds(int segment) {
+            return new Rectangle2D.Double(
+                    segmentBounds[segment * 4],
+                    segmentBounds[segment * 4 + 1],
+                    segmentBounds[segment * 4 + 2] - segmentBounds[segment * 4],
+                    segmentBounds[segment * 4 + 3] - segmentBounds[segment * 4 + 1]
+            );
+        }
+
+        /**
+         * Returns whether any part of the given segment, including the line to the first sample of the next segment,
+         * lies within the given area.
+         */
+        public boolean segmentIntersects(int segment, Rectangle2D area) {
+            return segmentBounds[segment * 4 + 2] >= area.getMinX()
+                    && segmentBounds[segment * 4] <= area.getMaxX()
+                    && segmentBounds[segment * 4 + 3] >= area.getMinY()
+                    && segmentBounds[segment * 4 + 1] <= area.getMaxY();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package bezier.src.export;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * <p>
+ * Writes the image as an 8-bit RGBA PNG, compressing the rows as they arrive. <br>
+ * {@link javax.imageio.ImageIO} needs the whole image in memory before writing it, which is not possible for very
+ * large canvases, so this writer produces the chunks of the
+ * <a href="https://www.w3.org/TR/png/">PNG specification</a> itself.
+ * </p>
+ * <p>
+ * Every row uses the {@code Sub} filter, which suits the large flat areas of a curve drawing.
+ * </p>
+ * <p>
+ * The closing {@code IEND} chunk is only written once every row has been received, so an image whose rendering failed
+ * halfway is never mistaken for a complete one.
+ * </p>
+ */
+public class PngRasterWriter implements RasterWriter {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /**
+     * The maximum size of an {@code IDAT} chunk.
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private static final int FILTER_SUB = 1;
+
+    private final DataOutputStream out;
+
+    private DeflaterOutputStream pixels;
+
+    private Deflater deflater;
+
+    private byte[] row;
+
+    private int height;
+
+    /**
+     * The number of rows written so far.
+     */
+    private int rows;
+
+    public PngRasterWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, CHUNK_SIZE));
+    }
+
+    @Override
+    public void begin(int width, int height) throws IOException {
+        this.height = height;
+        out.write(SIGNATURE);
+
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8; // bit depth
+        header[9] = 6; // color type: RGBA
+        header[10] = 0; // compression: deflate
+        header[11] = 0; // filter method: adaptive
+        header[12] = 0; // interlace: none
+        writeChunk("IHDR", header, header.length);
+
+        row = new byte[1 + width * 4];
+        row[0] = FILTER_SUB;
+
+        deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        pixels = new DeflaterOutputStream(new ChunkOutputStream(), deflater, CHUNK_SIZE);
+    }
+
+    @Override
+    public void writeRow(int[] argb) throws IOException {
+        int previous = 0;
+
+        for (int i = 0; i < argb.length; i++) {
+            int pixel = argb[i];
+            int offset = 1 + i * 4;
+
+            row[offset] = (byte) ((pixel >> 16) - (previous >> 16));
+            row[offset + 1] = (byte) ((pixel >> 8) - (previous >> 8));
+            row[offset + 2] = (byte) (pixel - previous);
+            row[offset + 3] = (byte) ((pixel >>> 24) - (previous >>> 24));
+
+            previous = pixel;
+        }
+
+        pixels.write(row);
+        rows++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (pixels != null && rows == height) {
+                pixels.finish();
+                pixels.flush();
+                writeChunk("IEND", new byte[0], 0);
+            }
+        } finally {
+            if (deflater != null) deflater.end();
+            out.close();
+        }
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Splits the compressed pixels into {@code IDAT} chunks of at most {@link #CHUNK_SIZE} bytes.
+     */
+    private class ChunkOutputStream extends OutputStream {
+
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+
+        private int length;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (length == buffer.length) flush();
+            buffer[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (length == buffer.length) flush();
+
+                int count = Math.min(len, buffer.length - length);
+                System.arraycopy(b, off, buffer, length, count);
+                length += count;
+                off += count;
+                len -= count;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (length == 0) return;
+
+            writeChunk("IDAT", buffer, length);
+            length = 0;
+        }
+    }
+}
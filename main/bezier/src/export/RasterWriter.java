@@ -0,0 +1,27 @@
+package bezier.src.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives the pixels of an image one row at a time, from top to bottom, so images too large to be held in memory can
+ * be written as they are rendered. <br>
+ * Closing the writer finishes the image and closes the underlying stream.
+ */
+public interface RasterWriter extends Closeable {
+
+    /**
+     * Starts a new image. Called once, before any row is written.
+     *
+     * @param width  the width of the image in pixels.
+     * @param height the height of the image in pixels.
+     */
+    void begin(int width, int height) throws IOException;
+
+    /**
+     * Writes the next row of the image.
+     *
+     * @param argb the pixels of the row, as {@code 0xAARRGGBB} values. The array is reused after this method returns.
+     */
+    void writeRow(int[] argb) throws IOException;
+}
@@ -0,0 +1,42 @@
+package bezier.src.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the image as raw 8-bit RGBA pixels, row after row, with no header. <br>
+ * The size of the image must be known by whoever reads the output, e.g. {@code magick -size 20000x20000 -depth 8}.
+ */
+public class RawRasterWriter implements RasterWriter {
+
+    private final OutputStream out;
+
+    private byte[] row;
+
+    public RawRasterWriter(OutputStream out) {
+        this.out = new BufferedOutputStream(out, 1 << 16);
+    }
+
+    @Override
+    public void begin(int width, int height) {
+        row = new byte[width * 4];
+    }
+
+    @Override
+    public void writeRow(int[] argb) throws IOException {
+        for (int i = 0; i < argb.length; i++) {
+            row[i * 4] = (byte) (argb[i] >> 16);
+            row[i * 4 + 1] = (byte) (argb[i] >> 8);
+            row[i * 4 + 2] = (byte) argb[i];
+            row[i * 4 + 3] = (byte) (argb[i] >> 24);
+        }
+
+        out.write(row);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
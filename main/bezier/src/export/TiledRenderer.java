@@ -0,0 +1,281 @@
+package bezier.src.export;
+
+import bezier.src.bezier.LodCurve;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.RenderingHints;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * Renders curves onto canvases too large for a single {@link BufferedImage}, such as the 20000x20000 pixel canvases
+ * needed for printing. <br>
+ * The canvas is split in square tiles. The segments of every curve (see {@link LodCurve.Level}) are binned into the
+ * tiles their bounding boxes touch, and the tiles are rasterized in parallel on a pool of worker threads.
+ * </p>
+ * <p>
+ * Tiles are rendered one band (a row of tiles) at a time, and only {@link #BANDS_IN_FLIGHT} bands are kept in memory,
+ * so memory use depends on the width of the canvas and the tile size but not on its height. Finished bands are streamed
+ * to a {@link RasterWriter} row by row. Tiles that no segment touches are not rasterized at all.
+ * </p>
+ */
+public class TiledRenderer {
+
+    /**
+     * The number of bands being rendered or waiting to be written at the same time.
+     */
+    public static final int BANDS_IN_FLIGHT = 2;
+
+    /**
+     * The maximum distance, in pixels, between two samples of a rendered curve.
+     */
+    private static final double SAMPLE_SPACING = 2.0;
+
+    private final int width;
+
+    private final int height;
+
+    private final int tileSize;
+
+    private final int threads;
+
+    private final int columns;
+
+    private final int rows;
+
+    private Color background = new Color(0, 0, 0, 0);
+
+    private Color curveColor = Color.GREEN;
+
+    private float strokeWidth = 3.0f;
+
+    /**
+     * Creates a renderer for a canvas of the given size.
+     *
+     * @param width    the width of the canvas in pixels.
+     * @param height   the height of the canvas in pixels.
+     * @param tileSize the width and height of a tile in pixels.
+     * @param threads  the number of worker threads rasterizing tiles.
+     */
+    public TiledRenderer(int width, int height, int tileSize, int threads) {
+        if (width <= 0 || height <= 0 || tileSize <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("The canvas size, tile size and number of threads must be positive.");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.threads = threads;
+
+        columns = (width + tileSize - 1) / tileSize;
+        rows = (height + tileSize - 1) / tileSize;
+    }
+
+    /**
+     * Creates a renderer for a canvas of the given size, with 512 pixel tiles and one worker thread per processor.
+     */
+    public TiledRenderer(int width, int height) {
+        this(width, height, 512, Runtime.getRuntime().availableProcessors());
+    }
+
+    public void setBackground(Color background) {
+        this.background = background;
+    }
+
+    public void setCurveColor(Color curveColor) {
+        this.curveColor = curveColor;
+    }
+
+    public void setStrokeWidth(float strokeWidth) {
+        this.strokeWidth = strokeWidth;
+    }
+
+    /**
+     * Renders the given curves and streams the result to the given writer. The writer is not closed.
+     *
+     * @param curves the control points of every curve, in canvas pixels.
+     * @param writer the writer receiving the rows of the canvas.
+     * @throws IOException          if the writer fails or a tile could not be rendered.
+     * @throws InterruptedException if the thread is interrupted while waiting for a tile.
+     */
+    public void render(List<Point[]> curves, RasterWriter writer) throws IOException, InterruptedException {
+        List<LodCurve.Level> levels = new ArrayList<>();
+
+        for (Point[] controlPoints : curves) {
+            LodCurve curve = new LodCurve(controlPoints);
+            levels.add(curve.sample(curve.stopsFor(1.0, SAMPLE_SPACING)));
+        }
+
+        List<List<int[]>> bins = bin(levels);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        try {
+            writer.begin(width, height);
+
+            Deque<List<Future<BufferedImage>>> bands = new ArrayDeque<>();
+            int nextBand = 0;
+            int[] row = new int[width];
+
+            for (int band = 0; band < rows; band++) {
+                while (nextBand < rows && nextBand < band + BANDS_IN_FLIGHT) {
+                    bands.add(submitBand(pool, nextBand++, levels, bins));
+                }
+
+                writeBand(band, bands.poll(), writer, row);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Lists, for every tile, the segments whose bounding boxes touch it, as {@code {curve, segment}} pairs.
+     */
+    private List<List<int[]>> bin(List<LodCurve.Level> levels) {
+        List<List<int[]>> bins = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) bins.add(new ArrayList<>());
+
+        double margin = strokeWidth / 2.0 + 1.0;
+
+        for (int curve = 0; curve < levels.size(); curve++) {
+            LodCurve.Level level = levels.get(curve);
+
+            for (int segment = 0; segment < level.getSegmentCount(); segment++) {
+                Rectangle2D.Double bounds = level.getSegmentBounds(segment);
+
+                int firstColumn = Math.max(0, (int) Math.floor((bounds.getMinX() - margin) / tileSize));
+                int lastColumn = Math.min(columns - 1, (int) Math.floor((bounds.getMaxX() + margin) / tileSize));
+                int firstRow = Math.max(0, (int) Math.floor((bounds.getMinY() - margin) / tileSize));
+                int lastRow = Math.min(rows - 1, (int) Math.floor((bounds.getMaxY() + margin) / tileSize));
+
+                for (int tileRow = firstRow; tileRow <= lastRow; tileRow++) {
+                    for (int column = firstColumn; column <= lastColumn; column++) {
+                        bins.get(tileRow * columns + column).add(new int[]{curve, segment});
+                    }
+                }
+            }
+        }
+
+        return bins;
+    }
+
+    /**
+     * Submits every tile of the given band which has at least one segment. Empty tiles get a {@code null} future.
+     */
+    private List<Future<BufferedImage>> submitBand(ExecutorService pool, int band, List<LodCurve.Level> levels, List<List<int[]>> bins) {
+        List<Future<BufferedImage>> tiles = new ArrayList<>(columns);
+
+        for (int column = 0; column < columns; column++) {
+            List<int[]> segments = bins.get(band * columns + column);
+            final int tileColumn = column;
+
+            tiles.add(segments.isEmpty() ? null : pool.submit(() -> renderTile(tileColumn, band, levels, segments)));
+        }
+
+        return tiles;
+    }
+
+    private BufferedImage renderTile(int column, int band, List<LodCurve.Level> levels, List<int[]> segments) {
+        int x = column * tileSize;
+        int y = band * tileSize;
+
+        BufferedImage tile = new BufferedImage(Math.min(tileSize, width - x), Math.min(tileSize, height - y), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = tile.createGraphics();
+
+        try {
+            g.setBackground(background);
+            g.clearRect(0, 0, tile.getWidth(), tile.getHeight());
+
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            g.setColor(curveColor);
+            g.setStroke(new BasicStroke(strokeWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g.translate(-x, -y);
+
+            Path2D.Double path = null;
+            int previousCurve = -1;
+            int previousSegment = -1;
+
+            // The bins list the segments of each curve in order, so consecutive segments are joined into a single
+            // path. Stroking them one by one would blend the antialiased pixels around every joint twice.
+            for (int[] entry : segments) {
+                LodCurve.Level level = levels.get(entry[0]);
+                double[] xs = level.getXs();
+                double[] ys = level.getYs();
+
+                int start = level.getSegmentStart(entry[1]);
+                int end = Math.min(level.getSegmentEnd(entry[1]), level.getPointCount() - 1);
+
+                if (path == null || entry[0] != previousCurve || entry[1] != previousSegment + 1) {
+                    if (path != null) g.draw(path);
+
+                    path = new Path2D.Double();
+                    path.moveTo(xs[start], ys[start]);
+                }
+
+                for (int i = start + 1; i <= end; i++) {
+                    path.lineTo(xs[i], ys[i]);
+                }
+
+                previousCurve = entry[0];
+                previousSegment = entry[1];
+            }
+
+            if (path != null) g.draw(path);
+        } finally {
+            g.dispose();
+        }
+
+        return tile;
+    }
+
+    private void writeBand(int band, List<Future<BufferedImage>> tiles, RasterWriter writer, int[] row) throws IOException, InterruptedException {
+        int[][] pixels = new int[columns][];
+
+        for (int column = 0; column < columns; column++) {
+            Future<BufferedImage> tile = tiles.get(column);
+            if (tile == null) continue;
+
+            try {
+                pixels[column] = ((DataBufferInt) tile.get().getRaster().getDataBuffer()).getData();
+            } catch (ExecutionException e) {
+                throw new IOException("Could not render tile " + column + ", " + band + ".", e.getCause());
+            }
+        }
+
+        int bandHeight = Math.min(tileSize, height - band * tileSize);
+        int backgroundArgb = background.getRGB();
+
+        for (int y = 0; y < bandHeight; y++) {
+            for (int column = 0; column < columns; column++) {
+                int x = column * tileSize;
+                int tileWidth = Math.min(tileSize, width - x);
+
+                if (pixels[column] == null) {
+                    Arrays.fill(row, x, x + tileWidth, backgroundArgb);
+                } else {
+                    System.arraycopy(pixels[column], y * tileWidth, row, x, tileWidth);
+                }
+            }
+
+            writer.writeRow(row);
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package bezier.src.ui;
 
+import bezier.src.animation.AnimatedCurve;
+import bezier.src.animation.AnimationEngine;
+import bezier.src.animation.CurveFrame;
+import bezier.src.animation.Easing;
+import bezier.src.animation.Keyframe;
 import bezier.src.bezier.Bezier;
+import bezier.src.bezier.LodCurve;
 
 import javax.swing.*;
 import java.awt.*;
@@ -9,6 +15,8 @@ import java.awt.Graphics;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -22,7 +30,7 @@ import java.util.stream.Stream;
 public class MainPanel extends JPanel {
 
     /**
-     * The number of points on the curve.
+     * The number of points on the animated curve. The still curve picks its own number of points from the zoom scale.
      */
     public int stops = 900;
 
@@ -32,9 +40,9 @@ public class MainPanel extends JPanel {
     ArrayList<Point> controlPoints;
 
     /**
-     * The list of points on the displayed curve.
+     * The displayed curve, sampled at the levels of detail needed so far.
      */
-    ArrayList<Point> curvePoints;
+    LodCurve curve;
 
     /**
      * The index of the control point that is currently selected.
@@ -42,9 +50,14 @@ public class MainPanel extends JPanel {
     Point selectedControlPoint;
 
     /**
-     * The scale of the control points. The scale changes when the user zooms in or out. 
+     * The zoom and pan of the panel. The scale changes when the user zooms in or out.
      */
-    private float scale = 1.0f;
+    private final Viewport viewport = new Viewport();
+
+    /**
+     * The last position of the mouse while the user pans the view, or {@code null} when not panning.
+     */
+    private Point panAnchor;
 
     /** 
      * The radius of the control points in pixels.
@@ -54,7 +67,7 @@ public class MainPanel extends JPanel {
     /**
      * The scaled radius of the control points in pixels.
      */
-    int scaledControlPointRadius = (int) ((float) controlPointRadius * scale);
+    int scaledControlPointRadius = controlPointRadius;
 
     /**
      * The radius of the curve points in pixels.
@@ -64,7 +77,27 @@ public class MainPanel extends JPanel {
     /**
      * The scaled radius of the curve points in pixels.
      */
-    int scaledCurvePointRadius = (int) ((float) curvePointRadius * scale);
+    int scaledCurvePointRadius = curvePointRadius;
+
+    /**
+     * The maximum distance, in pixels, between two points of the still curve on screen.
+     */
+    private final double curvePointSpacing = 1.0;
+
+    /**
+     * The rate, in ticks per second, at which the curve is animated.
+     */
+    private final int animationTickRate = 60;
+
+    /**
+     * The engine playing the current animation, or {@code null} when the curve is not animated.
+     */
+    private AnimationEngine animationEngine;
+
+    /**
+     * Toggles the animation. Its tooltip shows the frame statistics of the last animation.
+     */
+    private JToggleButton animate;
 
     public MainPanel() {
         super();
@@ -72,7 +105,6 @@ public class MainPanel extends JPanel {
         initComponents();
 
         controlPoints = new ArrayList<>();
-        curvePoints = new ArrayList<>();
 
         controlPoints.add(new Point(100, 100));
         controlPoints.add(new Point(200, 200));
@@ -92,25 +124,67 @@ public class MainPanel extends JPanel {
         Color curvePointColor = Color.GREEN;
         g.setColor(curvePointColor);
 
-        for (Point p : curvePoints) {
-            g.fillOval(p.x - scaledCurvePointRadius / 2, p.y - scaledCurvePointRadius / 2, scaledCurvePointRadius, scaledCurvePointRadius);
+        if (animationEngine != null) {
+            animationEngine.readFrame(frame -> paintFrame(g, frame));
+            return;
         }
 
+        paintCurve(g);
+
         Color controlPointColor = Color.RED;
         g.setColor(controlPointColor);
 
-        for (Point p : controlPoints) {
+        for (Point world : controlPoints) {
+            Point p = viewport.toScreen(world);
             g.fillOval(p.x - scaledControlPointRadius / 2, p.y - scaledControlPointRadius / 2, scaledControlPointRadius, scaledControlPointRadius);
         }
     }
 
+    /**
+     * Draws the still curve at the level of detail matching the zoom scale, skipping the segments outside the panel.
+     */
+    private void paintCurve(Graphics g) {
+        Rectangle2D.Double visible = viewport.visibleArea(getWidth(), getHeight(), scaledCurvePointRadius);
+        if (!curve.intersects(visible)) return;
+
+        LodCurve.Level level = curve.getLevel(curve.levelFor(viewport.getScale(), curvePointSpacing));
+        double[] xs = level.getXs();
+        double[] ys = level.getYs();
+
+        for (int segment = 0; segment < level.getSegmentCount(); segment++) {
+            if (!level.segmentIntersects(segment, visible)) continue;
+
+            for (int i = level.getSegmentStart(segment); i < level.getSegmentEnd(segment); i++) {
+                int x = (int) Math.round(viewport.toScreenX(xs[i]));
+                int y = (int) Math.round(viewport.toScreenY(ys[i]));
+                g.fillOval(x - scaledCurvePointRadius / 2, y - scaledCurvePointRadius / 2, scaledCurvePointRadius, scaledCurvePointRadius);
+            }
+        }
+    }
+
+    private void paintFrame(Graphics g, CurveFrame frame) {
+        for (int curve = 0; curve < frame.getCurveCount(); curve++) {
+            double[] xs = frame.getXs(curve);
+            double[] ys = frame.getYs(curve);
+
+            for (int i = 0; i < xs.length; i++) {
+                int x = (int) Math.round(viewport.toScreenX(xs[i]));
+                int y = (int) Math.round(viewport.toScreenY(ys[i]));
+                g.fillOval(x - scaledCurvePointRadius / 2, y - scaledCurvePointRadius / 2, scaledCurvePointRadius, scaledCurvePointRadius);
+            }
+        }
+    }
+
     private void initComponents() {
         ButtonGroup addOrRemovePoints = new ButtonGroup();
 
         JButton addPoint = new JButton("+");
         JButton removePoint = new JButton("-");
 
+        animate = new JToggleButton("Animate");
+
         addPoint.addActionListener(e -> {
+            animate.setSelected(false);
             Point[] elevated = new Point[controlPoints.size()];
             elevated = Bezier.elevate(controlPoints.toArray(elevated));
             controlPoints.clear();
@@ -121,16 +195,56 @@ public class MainPanel extends JPanel {
         });
 
         removePoint.addActionListener(e -> {
+            animate.setSelected(false);
             controlPoints.remove(controlPoints.size() - 1);
 
             if(controlPoints.size() < 3) removePoint.setEnabled(false);
             buildCurve();
         });
 
+        animate.addItemListener(e -> {
+            if (animate.isSelected()) startAnimation();
+            else stopAnimation();
+        });
+
         addOrRemovePoints.add(addPoint);
         addOrRemovePoints.add(removePoint);
         add(removePoint);
         add(addPoint);
+        add(animate);
+    }
+
+    /**
+     * Starts animating the curve back and forth between its current control points and their horizontal mirror.
+     */
+    private void startAnimation() {
+        stopAnimation();
+
+        Point[] points = controlPoints.toArray(new Point[0]);
+        Point[] mirrored = new Point[points.length];
+        double centerX = viewport.visibleArea(getWidth(), getHeight(), 0).getCenterX();
+
+        for (int i = 0; i < points.length; i++) {
+            mirrored[i] = new Point((int) Math.round(2.0 * centerX - points[i].x), points[i].y);
+        }
+
+        AnimatedCurve curve = new AnimatedCurve(List.of(
+                new Keyframe(0.0, points, Easing.EASE_IN_OUT),
+                new Keyframe(1.5, mirrored, Easing.EASE_IN_OUT),
+                new Keyframe(3.0, points)
+        ), true);
+
+        animationEngine = new AnimationEngine(List.of(curve), stops, animationTickRate, this::repaint);
+        animationEngine.start();
+    }
+
+    private void stopAnimation() {
+        if (animationEngine == null) return;
+
+        animationEngine.stop();
+        animate.setToolTipText("Last animation: " + animationEngine.describeStats());
+        animationEngine = null;
+        repaint();
     }
 
     private void buildCurve() {
@@ -141,11 +255,7 @@ public class MainPanel extends JPanel {
             points[i] = controlPoints.get(i);
         }
 
-        Point[] result = Bezier.curve(points, stops);
-
-        curvePoints.clear();
-        assert result != null : "result is null";
-        curvePoints.addAll(List.of(result));
+        curve = new LodCurve(points);
         repaint();
     }
 
@@ -159,15 +269,22 @@ public class MainPanel extends JPanel {
 
             @Override
             public void mousePressed(MouseEvent e) {
-                if (e.getButton() != MouseEvent.BUTTON1) return;
+                if (e.getButton() != MouseEvent.BUTTON1) {
+                    panAnchor = e.getPoint();
+                    return;
+                }
 
-                Stream<Point> eligible = controlPoints.stream().filter(point -> point.distance(e.getPoint()) <= (float) scaledControlPointRadius / 2.0);
+                // The animated curve does not follow the control points, so they cannot be edited while it plays.
+                if (animationEngine != null) return;
+
+                Stream<Point> eligible = controlPoints.stream().filter(point -> viewport.toScreen(point).distance(e.getPoint()) <= (float) scaledControlPointRadius / 2.0);
                 selectedControlPoint = eligible.findFirst().orElse(null);
             }
 
             @Override
             public void mouseReleased(MouseEvent e) {
                 selectedControlPoint = null;
+                panAnchor = null;
             }
 
             @Override
@@ -184,9 +301,16 @@ public class MainPanel extends JPanel {
         addMouseMotionListener(new MouseMotionListener() {
             @Override
             public void mouseDragged(MouseEvent e) {
+                if (panAnchor != null) {
+                    viewport.pan(e.getX() - panAnchor.x, e.getY() - panAnchor.y);
+                    panAnchor = e.getPoint();
+                    repaint();
+                    return;
+                }
+
                 if (selectedControlPoint == null) return;
 
-                selectedControlPoint.setLocation(clamp(e.getPoint()));
+                selectedControlPoint.setLocation(clamp(viewport.toWorld(e.getPoint())));
                 buildCurve();
             }
 
@@ -197,27 +321,50 @@ public class MainPanel extends JPanel {
         });
 
         addMouseWheelListener(e -> {
-            float newScale = scale += (float) ((float) -e.getPreciseWheelRotation() / 10.0);
+            double newScale = viewport.getScale() - e.getPreciseWheelRotation() / 10.0;
 
-            if (newScale < 0.7) newScale = 0.7f;
-            else if (newScale > 3.0) newScale = 3.0f;
-
-            setScale(newScale);
+            setScale(newScale, e.getPoint());
             repaint();
         });
     }
 
-    private Point clamp(Point point) {
-        int newX = Math.max(0, Math.min(point.x, getWidth()));
-        int newY = Math.max(0, Math.min(point.y, getHeight()));
+    /**
+     * Clamps the given world point to the area of the world visible in the panel.
+     */
+    private Point clamp(Point2D.Double point) {
+        Rectangle2D.Double visible = viewport.visibleArea(getWidth(), getHeight(), 0);
+
+        int newX = (int) Math.round(Math.max(visible.getMinX(), Math.min(point.x, visible.getMaxX())));
+        int newY = (int) Math.round(Math.max(visible.getMinY(), Math.min(point.y, visible.getMaxY())));
 
         return new Point(newX, newY);
     }
 
+    /**
+     * Returns a copy of the control points of the curve, in world coordinates.
+     */
+    public Point[] getControlPoints() {
+        return controlPoints.stream().map(Point::new).toArray(Point[]::new);
+    }
+
+    /**
+     * Returns the area of the world currently visible in the panel.
+     */
+    public Rectangle2D.Double getVisibleArea() {
+        return viewport.visibleArea(getWidth(), getHeight(), 0);
+    }
+
+    /**
+     * Zooms around the center of the panel.
+     */
     public void setScale(float scale) {
-        this.scale = scale;
+        setScale(scale, new Point(getWidth() / 2, getHeight() / 2));
+    }
+
+    private void setScale(double scale, Point anchor) {
+        viewport.zoom(scale, anchor);
 
-        scaledControlPointRadius = (int) ((float) controlPointRadius * scale);
-        scaledCurvePointRadius = (int) ((float) curvePointRadius * scale);
+        scaledControlPointRadius = (int) ((float) controlPointRadius * viewport.getScale());
+        scaledCurvePointRadius = (int) ((float) curvePointRadius * viewport.getScale());
     }
 }
@@ -1,9 +1,16 @@
 package bezier.src.ui;
 
 import bezier.src.Main;
+import bezier.src.export.PngRasterWriter;
+import bezier.src.export.RasterWriter;
+import bezier.src.export.TiledRenderer;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.List;
 
 public class MainWindow extends JFrame {
     private final Main main;
@@ -35,9 +42,87 @@ public class MainWindow extends JFrame {
         settingsItem.setAccelerator(KeyStroke.getKeyStroke("control S"));
         settingsItem.addActionListener(l -> WindowManager.openWindow(main.getSettingsWindow()));
 
+        final JMenuItem exportItem = options.add(new JMenuItem("Export PNG"));
+        exportItem.setToolTipText("Render your Bézier curve to a PNG, up to 40 times the size of the canvas");
+        exportItem.setAccelerator(KeyStroke.getKeyStroke("control E"));
+        exportItem.addActionListener(l -> exportPng());
+
         setJMenuBar(menuBar);
     }
 
+    /**
+     * Asks for a scale and a file, then renders the curve to that file on a background thread. <br>
+     * The exported canvas covers what is visible in the panel, grown to fit the whole curve when parts of it are
+     * outside the view.
+     */
+    private void exportPng() {
+        final Integer[] scales = {1, 2, 5, 10, 25, 40};
+        final Integer scale = (Integer) JOptionPane.showInputDialog(this, "Scale of the exported image", "Export PNG",
+                JOptionPane.PLAIN_MESSAGE, null, scales, scales[0]);
+        if (scale == null) return;
+
+        final JFileChooser chooser = new JFileChooser() {
+            @Override
+            public void approveSelection() {
+                if (getSelectedFile().exists() && JOptionPane.showConfirmDialog(this, getSelectedFile().getName() + " already exists. Replace it?",
+                        "Export PNG", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) return;
+
+                super.approveSelection();
+            }
+        };
+        chooser.setDialogType(JFileChooser.SAVE_DIALOG);
+        chooser.setSelectedFile(new File("bezier.png"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        final File file = chooser.getSelectedFile();
+        final Point[] controlPoints = panel.getControlPoints();
+        final float strokeWidth = 3.0f;
+
+        // The control points always contain the curve, so their bounds plus the stroke are enough to fit it.
+        final Rectangle2D area = panel.getVisibleArea();
+        for (Point p : controlPoints) {
+            area.add(new Rectangle2D.Double(p.x - strokeWidth, p.y - strokeWidth, 2.0 * strokeWidth, 2.0 * strokeWidth));
+        }
+
+        final int originX = (int) Math.floor(area.getMinX());
+        final int originY = (int) Math.floor(area.getMinY());
+        final int width = (int) Math.ceil(area.getMaxX()) - originX;
+        final int height = (int) Math.ceil(area.getMaxY()) - originY;
+
+        for (Point p : controlPoints) {
+            p.setLocation((p.x - originX) * scale, (p.y - originY) * scale);
+        }
+
+        final TiledRenderer renderer = new TiledRenderer(width * scale, height * scale);
+        renderer.setStrokeWidth(strokeWidth * scale);
+
+        Thread thread = new Thread(() -> {
+            boolean opened = false;
+
+            try {
+                try (RasterWriter writer = new PngRasterWriter(new FileOutputStream(file))) {
+                    opened = true;
+                    renderer.render(List.<Point[]>of(controlPoints), writer);
+                }
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+
+                // Whatever was written is an incomplete image, which must not be left behind looking like an export.
+                // If the file could not even be opened, it is not ours to delete.
+                if (opened) file.delete();
+
+                final String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, "Could not export the image: " + reason,
+                        "Export PNG", JOptionPane.ERROR_MESSAGE));
+                return;
+            }
+
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, "Exported " + file.getName() + ".",
+                    "Export PNG", JOptionPane.INFORMATION_MESSAGE));
+        }, "PngExport");
+        thread.start();
+    }
+
     private void createCanvas() {
         panel = new MainPanel();
 
@@ -0,0 +1,78 @@
+package bezier.src.ui;
+
+import java.awt.Point;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Maps the world coordinates of the curve to the screen coordinates of the panel, applying the zoom scale and the pan
+ * offset: {@code screen = world * scale + offset}.
+ */
+public class Viewport {
+
+    public static final double MIN_SCALE = 0.7;
+
+    public static final double MAX_SCALE = 3.0;
+
+    private double scale = 1.0;
+
+    private double offsetX;
+
+    private double offsetY;
+
+    public double getScale() {
+        return scale;
+    }
+
+    public double toScreenX(double worldX) {
+        return worldX * scale + offsetX;
+    }
+
+    public double toScreenY(double worldY) {
+        return worldY * scale + offsetY;
+    }
+
+    public Point toScreen(Point world) {
+        return new Point((int) Math.round(toScreenX(world.x)), (int) Math.round(toScreenY(world.y)));
+    }
+
+    public Point2D.Double toWorld(Point screen) {
+        return new Point2D.Double((screen.x - offsetX) / scale, (screen.y - offsetY) / scale);
+    }
+
+    /**
+     * Changes the scale, clamped between {@link #MIN_SCALE} and {@link #MAX_SCALE}, keeping the world point under the
+     * given anchor in place.
+     *
+     * @param newScale the new scale.
+     * @param anchor   the point of the screen which must not move, usually the mouse cursor.
+     */
+    public void zoom(double newScale, Point anchor) {
+        Point2D.Double world = toWorld(anchor);
+
+        scale = Math.max(MIN_SCALE, Math.min(newScale, MAX_SCALE));
+        offsetX = anchor.x - world.x * scale;
+        offsetY = anchor.y - world.y * scale;
+    }
+
+    /**
+     * Moves the view by the given amount of screen pixels.
+     */
+    public void pan(int dx, int dy) {
+        offsetX += dx;
+        offsetY += dy;
+    }
+
+    /**
+     * Returns the area of the world visible on a screen of the given size, grown by {@code margin} screen pixels on
+     * every side.
+     */
+    public Rectangle2D.Double visibleArea(int width, int height, int margin) {
+        return new Rectangle2D.Double(
+                (-margin - offsetX) / scale,
+                (-margin - offsetY) / scale,
+                (width + 2.0 * margin) / scale,
+                (height + 2.0 * margin) / scale
+        );
+    }
+}